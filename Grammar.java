@@ -0,0 +1,150 @@
+package tasks.task2.variant10;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Class represents a set of rules, according to which a text is split to sentences
+ * and sentences are split to tokens. Grammar consists of a sentence pattern and of
+ * a sequence of token classes, each declared by a pattern and a factory of TextToken
+ * instances. Patterns of all the token classes are compiled into a single combined
+ * pattern, so a sentence is split to tokens in one pass regardless of the quantity
+ * of token classes. If several token classes match at the same position of a sentence,
+ * the one declared later takes precedence. Class instances are immutable.
+ */
+public final class Grammar {
+
+    /**
+     * Default grammar, which splits a text to sentences according to Sentence.PATTERN
+     * and splits sentences to Word and PunctMark instances.
+     */
+    public static final Grammar DEFAULT = new Grammar(Sentence.PATTERN, Collections.emptyList())
+            .withTokenClass(PunctMark.PATTERN, PunctMark::ofMatched)
+            .withTokenClass(Word.PATTERN, Word::ofMatched);
+
+    /**
+     * Class represents a token class: a pattern of tokens and a factory of TextToken
+     * instances from the matched sub-strings.
+     */
+    private static class TokenClass {
+
+        private final Pattern pattern;
+
+        private final Function<String, ? extends TextToken> factory;
+
+        TokenClass(Pattern pattern, Function<String, ? extends TextToken> factory) {
+            this.pattern = pattern;
+            this.factory = factory;
+        }
+    }
+
+    /**
+     * Pattern, that is used for searching sentences.
+     */
+    private final Pattern sentencePattern;
+
+    /**
+     * Token classes in the order of precedence.
+     */
+    private final List<TokenClass> tokenClasses;
+
+    /**
+     * Pattern, that combines patterns of all the token classes as alternatives
+     * in the order of precedence, each enclosed in a capturing group.
+     */
+    private final Pattern tokenPattern;
+
+    /**
+     * Indexes of capturing groups of the combined pattern, that enclose patterns
+     * of the token classes with the same indexes.
+     */
+    private final int[] groupIndexes;
+
+    private Grammar(Pattern sentencePattern, List<TokenClass> tokenClasses) {
+        this.sentencePattern = sentencePattern;
+        this.tokenClasses = tokenClasses;
+        this.groupIndexes = new int[tokenClasses.size()];
+        StringBuilder sb = new StringBuilder();
+        int groupIndex = 1;
+        for (int i = 0; i < tokenClasses.size(); i++) {
+            Pattern pattern = tokenClasses.get(i).pattern;
+            sb.append((i == 0) ? "(" : "|(").append(pattern.pattern()).append(")");
+            groupIndexes[i] = groupIndex;
+            groupIndex += 1 + pattern.matcher("").groupCount();
+        }
+        this.tokenPattern = tokenClasses.isEmpty() ? null : Pattern.compile(sb.toString());
+    }
+
+    /**
+     * Creates a grammar, that differs from this one by the passed sentence pattern.
+     *
+     * @param sentencePattern pattern, that is used for searching sentences.
+     * @return new Grammar instance.
+     * @throws IllegalArgumentException in case, if passed pattern is null.
+     */
+    public Grammar withSentencePattern(Pattern sentencePattern) {
+        if (sentencePattern == null) {
+            throw new IllegalArgumentException();
+        }
+        return new Grammar(sentencePattern, tokenClasses);
+    }
+
+    /**
+     * Creates a grammar, that differs from this one by the passed token class, which
+     * takes precedence over all the token classes of this grammar. Pattern of a token
+     * class must be compiled without flags (embedded flag expressions can be used instead)
+     * and must not contain numbered back references, as it becomes a part of a combined
+     * pattern. TextToken instances created by the factory must implement equals and hashCode
+     * methods, as they are cached.
+     *
+     * @param pattern pattern of tokens.
+     * @param factory factory of TextToken instances from the sub-strings matching the pattern.
+     * @return new Grammar instance.
+     * @throws IllegalArgumentException in case, if any of passed arguments is null,
+     *                                  or the pattern is compiled with flags.
+     */
+    public Grammar withTokenClass(Pattern pattern, Function<String, ? extends TextToken> factory) {
+        if (pattern == null || factory == null || pattern.flags() != 0) {
+            throw new IllegalArgumentException();
+        }
+        List<TokenClass> classes = new ArrayList<>(tokenClasses.size() + 1);
+        classes.add(new TokenClass(pattern, factory));
+        classes.addAll(tokenClasses);
+        return new Grammar(sentencePattern, Collections.unmodifiableList(classes));
+    }
+
+    public Pattern getSentencePattern() {
+        return sentencePattern;
+    }
+
+    /**
+     * Creates a Matcher instance, that searches tokens of all the token classes
+     * in the passed input sequence.
+     *
+     * @param input input sequence to search in.
+     * @return Matcher instance; or null, if this grammar has no token classes.
+     */
+    Matcher tokenMatcher(CharSequence input) {
+        return (tokenPattern == null) ? null : tokenPattern.matcher(input);
+    }
+
+    /**
+     * Creates a TextToken instance from the last match of the passed Matcher instance,
+     * which was created by #tokenMatcher(CharSequence input) method.
+     *
+     * @param mat Matcher instance, that found a token.
+     * @return TextToken instance of the token class, that matched.
+     */
+    TextToken createToken(Matcher mat) {
+        for (int i = 0; i < groupIndexes.length; i++) {
+            if (mat.start(groupIndexes[i]) != -1) {
+                return tokenClasses.get(i).factory.apply(mat.group());
+            }
+        }
+        throw new IllegalStateException("no token class matched");
+    }
+}
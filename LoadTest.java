@@ -0,0 +1,361 @@
+package tasks.task2.variant10;
+
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.regex.Matcher;
+
+/**
+ * Class represents a throughput load test of parsing and querying of a Text.
+ * Test generates a corpus of the specified size from the sentences of a sample text,
+ * optionally mixed with built-in English sentences in the specified ratio, then runs
+ * parse and query workloads after warm-up runs and reports parse throughput in MB/s and
+ * sentences/s, 50th and 99th percentiles of query latency and peak heap usage.
+ * If a baseline file is specified, results are compared with the thresholds stored in it,
+ * and the test exits with status 1, if any threshold is not met. Generation of the corpus
+ * and of the queries is reproducible for the same seed.
+ * <p>
+ * Usage: LoadTest [name=value ...], where names are:
+ * src - path of the sample text;
+ * sizeMb - size of the generated corpus in megabytes;
+ * latinRatio - share of English sentences in the corpus, from 0 to 1;
+ * warmup - quantity of warm-up runs;
+ * runs - quantity of measured runs;
+ * queries - quantity of queries per run;
+ * seed - seed of random generator;
+ * baseline - path of the baseline file to compare results with;
+ * record - path of the baseline file to store results to, loosened by the tolerance;
+ * tolerance - share, by which recorded thresholds are loosened.
+ */
+public class LoadTest {
+
+    private static final String DEFAULT_SRC = "src/tasks/task2/variant10/resources/srcText.txt";
+
+    private static final String[] LATIN_SENTENCES = {
+            "The quick brown fox jumps over the lazy dog.",
+            "A lambda expression is, essentially, an anonymous method!",
+            "Functional interfaces define exactly one abstract method; others are default ones.",
+            "Is the result of 3.14 times 2 equal to 6.28?",
+            "Streams can be processed sequentially or in parallel, depending on the source.",
+            "Each sentence ends with a punctuation mark and a space."
+    };
+
+    private static final int MB = 1 << 20;
+
+    /**
+     * Interval of sampling of heap usage in milliseconds.
+     */
+    private static final long HEAP_SAMPLE_INTERVAL_MILLIS = 1;
+
+    /**
+     * Class represents a sampler, that periodically reads used heap in a daemon thread
+     * and keeps the maximal value. Used heap is read as a whole, so the peak is the
+     * maximal heap usage at a single moment.
+     */
+    private static class HeapSampler implements Runnable {
+
+        private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        private final Thread thread = new Thread(this, "heap-sampler");
+
+        private volatile boolean isRunning = true;
+
+        private volatile long peak;
+
+        HeapSampler() {
+            thread.setDaemon(true);
+        }
+
+        void start() {
+            thread.start();
+        }
+
+        /**
+         * Stops sampling and returns the peak of used heap.
+         *
+         * @return maximal sampled used heap in bytes.
+         */
+        long stop() {
+            isRunning = false;
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sample();
+            return peak;
+        }
+
+        @Override
+        public void run() {
+            while (isRunning) {
+                sample();
+                try {
+                    Thread.sleep(HEAP_SAMPLE_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+
+        private void sample() {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            if (used > peak) {
+                peak = used;
+            }
+        }
+    }
+
+    /**
+     * Class represents results of a load test.
+     */
+    private static class Results {
+
+        private double parseMbPerSec;
+
+        private double sentencesPerSec;
+
+        private double queryP50Millis;
+
+        private double queryP99Millis;
+
+        private double peakHeapMb;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Properties opts = new Properties();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq < 1) {
+                throw new IllegalArgumentException("argument must be name=value: " + arg);
+            }
+            opts.setProperty(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        String src = opts.getProperty("src", DEFAULT_SRC);
+        double sizeMb = Double.parseDouble(opts.getProperty("sizeMb", "4"));
+        double latinRatio = Double.parseDouble(opts.getProperty("latinRatio", "0"));
+        int warmup = Integer.parseInt(opts.getProperty("warmup", "2"));
+        int runs = Integer.parseInt(opts.getProperty("runs", "3"));
+        int queries = Integer.parseInt(opts.getProperty("queries", "200"));
+        long seed = Long.parseLong(opts.getProperty("seed", "42"));
+
+        String sample = new String(Files.readAllBytes(Paths.get(src)), StandardCharsets.UTF_8);
+        byte[] corpus = generateCorpus(sample, (long) (sizeMb * MB), latinRatio, new Random(seed));
+        System.out.printf("corpus: %.2f MB, latin ratio %.2f%n", (double) corpus.length / MB, latinRatio);
+
+        Results res = run(corpus, warmup, runs, queries, seed);
+        System.out.printf("parse: %.2f MB/s, %.0f sentences/s%n", res.parseMbPerSec, res.sentencesPerSec);
+        System.out.printf("query latency: p50 %.3f ms, p99 %.3f ms%n", res.queryP50Millis, res.queryP99Millis);
+        System.out.printf("peak heap: %.1f MB%n", res.peakHeapMb);
+
+        if (opts.getProperty("record") != null) {
+            double tolerance = Double.parseDouble(opts.getProperty("tolerance", "0.3"));
+            storeBaseline(res, tolerance, opts.getProperty("record"));
+        }
+        if (opts.getProperty("baseline") != null) {
+            List<String> failures = checkBaseline(res, opts.getProperty("baseline"));
+            for (String failure : failures) {
+                System.out.println("FAILED: " + failure);
+            }
+            if (!failures.isEmpty()) {
+                System.exit(1);
+            }
+            System.out.println("baseline met");
+        }
+    }
+
+    /**
+     * Generates a corpus of randomly chosen sentences of the sample text and built-in
+     * English sentences. Terminators of the sentences are normalized before joining,
+     * so the corpus is split to exactly the chosen sentences.
+     *
+     * @param sample     sample text.
+     * @param size       minimal size of the corpus in bytes.
+     * @param latinRatio share of English sentences in the corpus.
+     * @param rnd        random generator.
+     * @return corpus encoded in UTF-8.
+     */
+    private static byte[] generateCorpus(String sample, long size, double latinRatio, Random rnd) {
+        List<String> sentences = new ArrayList<>();
+        Matcher mat = Sentence.PATTERN.matcher(sample);
+        while (mat.find()) {
+            sentences.add(normalizeTerminator(mat.group()));
+        }
+        if (sentences.isEmpty()) {
+            throw new IllegalArgumentException("sample text contains no sentences");
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) Math.min(size + 1024, Integer.MAX_VALUE));
+        while (out.size() < size) {
+            String sentence = (rnd.nextDouble() < latinRatio)
+                    ? normalizeTerminator(LATIN_SENTENCES[rnd.nextInt(LATIN_SENTENCES.length)])
+                    : sentences.get(rnd.nextInt(sentences.size()));
+            byte[] bytes = sentence.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes, 0, bytes.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Normalizes the terminator of a sentence, so it ends the sentence regardless of
+     * the sentence, that follows it. Sentences of the sample text, that end with a line
+     * break followed by an indented capitalized line, rely on the beginning of the next
+     * sentence, so they are terminated with a period instead. Surrounding whitespace
+     * is removed and a single space is appended.
+     *
+     * @param sentence sentence to be normalized.
+     * @return sentence ending with punctuation mark and a space.
+     */
+    private static String normalizeTerminator(String sentence) {
+        String trimmed = sentence.trim();
+        char last = trimmed.isEmpty() ? ' ' : trimmed.charAt(trimmed.length() - 1);
+        return (last == '.' || last == '!' || last == '?')
+                ? trimmed + " "
+                : trimmed + ". ";
+    }
+
+    /**
+     * Runs warm-up and measured runs of parse and query workloads.
+     * Parse throughput is the median over measured runs, query latencies
+     * are taken over the queries of all measured runs.
+     */
+    private static Results run(byte[] corpus, int warmup, int runs, int queries, long seed) {
+        for (int i = 0; i < warmup; i++) {
+            Text text = new Text(new ByteArrayInputStream(corpus), StandardCharsets.UTF_8).parse();
+            runQueries(text, queries, new Random(seed));
+        }
+        System.gc();
+        HeapSampler heapSampler = new HeapSampler();
+        heapSampler.start();
+        double[] parseSecs = new double[runs];
+        double[] sentences = new double[runs];
+        List<Long> latencies = new ArrayList<>();
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime();
+            Text text = new Text(new ByteArrayInputStream(corpus), StandardCharsets.UTF_8).parse();
+            parseSecs[i] = (System.nanoTime() - start) / 1e9;
+            sentences[i] = text.size() / parseSecs[i];
+            latencies.addAll(runQueries(text, queries, new Random(seed + i)));
+        }
+        long peakHeap = heapSampler.stop();
+        Collections.sort(latencies);
+        Results res = new Results();
+        res.parseMbPerSec = (double) corpus.length / MB / median(parseSecs);
+        res.sentencesPerSec = median(sentences);
+        res.queryP50Millis = percentile(latencies, 0.50) / 1e6;
+        res.queryP99Millis = percentile(latencies, 0.99) / 1e6;
+        res.peakHeapMb = (double) peakHeap / MB;
+        return res;
+    }
+
+    /**
+     * Runs queries of randomly chosen tokens of the text mixed with absent tokens,
+     * cycling through #occurFreq, #occurFreqPerSentence and #sortByOccurFreq methods.
+     *
+     * @return latencies of queries in nanoseconds.
+     */
+    private static List<Long> runQueries(Text text, int queries, Random rnd) {
+        List<Long> latencies = new ArrayList<>(queries);
+        for (int q = 0; q < queries; q++) {
+            List<TextToken> tokens = new ArrayList<>();
+            int count = 1 + rnd.nextInt(5);
+            for (int i = 0; i < count; i++) {
+                if (rnd.nextInt(4) == 0) {
+                    tokens.add(new Word().parse("absent" + rnd.nextInt(1000)));
+                } else {
+                    List<TextToken> subTokens = text.getSentence(rnd.nextInt(text.size())).getSubTokens();
+                    if (!subTokens.isEmpty()) {
+                        tokens.add(subTokens.get(rnd.nextInt(subTokens.size())));
+                    }
+                }
+            }
+            long start = System.nanoTime();
+            switch (q % 3) {
+                case 0:
+                    text.occurFreq(tokens);
+                    break;
+                case 1:
+                    text.occurFreqPerSentence(tokens);
+                    break;
+                default:
+                    text.sortByOccurFreq(tokens);
+            }
+            latencies.add(System.nanoTime() - start);
+        }
+        return latencies;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return (sorted.length % 2 == 1)
+                ? sorted[sorted.length / 2]
+                : (sorted[sorted.length / 2 - 1] + sorted[sorted.length / 2]) / 2;
+    }
+
+    private static long percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(index, sorted.size() - 1)));
+    }
+
+    /**
+     * Stores results as thresholds to the baseline file, loosening them by the tolerance:
+     * throughput thresholds are decreased, latency and heap thresholds are increased.
+     */
+    private static void storeBaseline(Results res, double tolerance, String path) throws IOException {
+        Properties baseline = new Properties();
+        baseline.setProperty("min.parseMbPerSec", format(res.parseMbPerSec * (1 - tolerance)));
+        baseline.setProperty("min.sentencesPerSec", format(res.sentencesPerSec * (1 - tolerance)));
+        baseline.setProperty("max.queryP50Millis", format(res.queryP50Millis * (1 + tolerance)));
+        baseline.setProperty("max.queryP99Millis", format(res.queryP99Millis * (1 + tolerance)));
+        baseline.setProperty("max.peakHeapMb", format(res.peakHeapMb * (1 + tolerance)));
+        try (OutputStream out = new FileOutputStream(path)) {
+            baseline.store(out, "LoadTest thresholds");
+        }
+        System.out.println("baseline stored to " + path);
+    }
+
+    /**
+     * Compares results with the thresholds stored in the baseline file.
+     * Thresholds, that are absent in the file, are not checked.
+     *
+     * @return descriptions of the thresholds, that are not met.
+     */
+    private static List<String> checkBaseline(Results res, String path) throws IOException {
+        Properties baseline = new Properties();
+        try (InputStream in = new FileInputStream(path)) {
+            baseline.load(in);
+        }
+        List<String> failures = new ArrayList<>();
+        checkMin(failures, baseline, "min.parseMbPerSec", res.parseMbPerSec);
+        checkMin(failures, baseline, "min.sentencesPerSec", res.sentencesPerSec);
+        checkMax(failures, baseline, "max.queryP50Millis", res.queryP50Millis);
+        checkMax(failures, baseline, "max.queryP99Millis", res.queryP99Millis);
+        checkMax(failures, baseline, "max.peakHeapMb", res.peakHeapMb);
+        return failures;
+    }
+
+    private static void checkMin(List<String> failures, Properties baseline, String name, double value) {
+        String threshold = baseline.getProperty(name);
+        if (threshold != null && value < Double.parseDouble(threshold)) {
+            failures.add(name + ": " + format(value) + " < " + threshold);
+        }
+    }
+
+    private static void checkMax(List<String> failures, Properties baseline, String name, double value) {
+        String threshold = baseline.getProperty(name);
+        if (threshold != null && value > Double.parseDouble(threshold)) {
+            failures.add(name + ": " + format(value) + " > " + threshold);
+        }
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
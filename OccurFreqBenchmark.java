@@ -0,0 +1,116 @@
+package tasks.task2.variant10;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Class represents a benchmark of counting of token occurrences in sentences.
+ * Benchmark measures three ways of counting, each run single-threaded over every sentence:
+ * equals - Collections#frequency(Collection c, Object o) invocation, which calls
+ * TextToken#equals(Object other) on each sub-token of a sentence;
+ * reference - Sentence#countInterned(TextToken canonical), which compares cached
+ * sub-tokens by reference;
+ * reference+bloom - Sentence#occurFreqInterned(TextToken canonical), which is used by Text
+ * query methods and skips the reference scan, if Bloom filter of a sentence shows, that
+ * the token certainly doesn't occur in it.
+ * Speedups are reported relative to the equals way, so the gain of reference comparison
+ * and the gain of Bloom filter can be told apart.
+ * Source text is repeated the specified number of times to scale it up.
+ * <p>
+ * Usage: OccurFreqBenchmark [source path] [repeat count] [rounds]
+ */
+public class OccurFreqBenchmark {
+
+    private static final String DEFAULT_SRC = "src/tasks/task2/variant10/resources/srcText.txt";
+
+    public static void main(String[] args) throws IOException {
+        String path = (args.length > 0) ? args[0] : DEFAULT_SRC;
+        int repeat = (args.length > 1) ? Integer.parseInt(args[1]) : 200;
+        int rounds = (args.length > 2) ? Integer.parseInt(args[2]) : 10;
+
+        String sample = new String(Files.readAllBytes(Paths.get(path)), StandardCharsets.UTF_8);
+        StringBuilder sb = new StringBuilder(sample.length() * repeat);
+        for (int i = 0; i < repeat; i++) {
+            sb.append(sample).append('\n');
+        }
+        Text text = new Text(sb.toString()).parse();
+        List<TextToken> tokens = queryTokens();
+        List<Sentence> sentences = new ArrayList<>();
+        for (int i = 0; i < text.size(); i++) {
+            sentences.add(text.getSentence(i));
+        }
+        System.out.printf("sentences: %d, query tokens: %d%n", text.size(), tokens.size());
+
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            Map<TextToken, Integer> byEquals = occurFreqByEquals(sentences, tokens);
+            long equalsTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Map<TextToken, Integer> byReference = occurFreqByReference(text, sentences, tokens, false);
+            long referenceTime = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            Map<TextToken, Integer> byBloom = occurFreqByReference(text, sentences, tokens, true);
+            long bloomTime = System.nanoTime() - start;
+
+            if (!byEquals.equals(byReference) || !byEquals.equals(byBloom)) {
+                throw new IllegalStateException("results differ: " + byEquals + " " + byReference + " " + byBloom);
+            }
+            System.out.printf("round %d: equals %.2f ms, reference %.2f ms (%.1fx), reference+bloom %.2f ms (%.1fx)%n",
+                    i, equalsTime / 1e6, referenceTime / 1e6, (double) equalsTime / referenceTime,
+                    bloomTime / 1e6, (double) equalsTime / bloomTime);
+        }
+    }
+
+    /**
+     * Calculates occurrence quantity of the passed tokens in the way, that uses
+     * TextToken#equals(Object other) for comparison of sub-tokens.
+     */
+    private static Map<TextToken, Integer> occurFreqByEquals(List<Sentence> sentences, List<TextToken> tokens) {
+        Map<TextToken, Integer> res = new HashMap<>();
+        for (TextToken token : tokens) {
+            int freq = 0;
+            for (Sentence sentence : sentences) {
+                freq += Collections.frequency(sentence.subTokens, token);
+            }
+            res.put(token, freq);
+        }
+        return res;
+    }
+
+    /**
+     * Calculates occurrence quantity of the passed tokens in the way, that resolves
+     * cached reference of a token once and compares sub-tokens by reference,
+     * checking Bloom filter of a sentence first, if the flag is set.
+     */
+    private static Map<TextToken, Integer> occurFreqByReference(Text text, List<Sentence> sentences,
+                                                                List<TextToken> tokens, boolean useBloom) {
+        Map<TextToken, Integer> res = new HashMap<>();
+        for (TextToken token : tokens) {
+            TextToken canonical = text.cache.get(token);
+            int freq = 0;
+            if (canonical != null) {
+                for (Sentence sentence : sentences) {
+                    freq += useBloom ? sentence.occurFreqInterned(canonical) : sentence.countInterned(canonical);
+                }
+            }
+            res.put(token, freq);
+        }
+        return res;
+    }
+
+    private static List<TextToken> queryTokens() {
+        List<TextToken> tokens = new ArrayList<>();
+        for (String word : new String[]{"в", "на", "и", "лямбда", "интерфейс", "Java", "отсутствует"}) {
+            tokens.add(new Word().parse(word));
+        }
+        for (String mark : new String[]{";", ",", "(", "?"}) {
+            tokens.add(new PunctMark().parse(mark));
+        }
+        return tokens;
+    }
+}
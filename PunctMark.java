@@ -27,6 +27,20 @@ public class PunctMark extends TextToken {
     public PunctMark() {
     }
 
+    /**
+     * Creates an instance from the passed sub-string, excluding input sequence check
+     * from the default steps of parse procedure. Method is used in conditions, where
+     * input sequence is guaranteed matches the PATTERN class constant.
+     *
+     * @param content sub-string matching the PATTERN class constant.
+     * @return created instance.
+     */
+    static PunctMark ofMatched(String content) {
+        PunctMark token = new PunctMark();
+        token.content = content;
+        return token;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other
@@ -0,0 +1,192 @@
+package tasks.task2.variant10;
+
+import java.util.*;
+
+/**
+ * Class represents a cache of results of Text query methods.
+ * Results are stored under a key, that consists of the query method and the set of
+ * queried tokens, so the same tokens queried in a different order or with repetitions
+ * hit the same entry. Cache is bounded both by the quantity of entries and by their
+ * total weight, i.e. the total quantity of elements in the cached results; least
+ * recently used entries are evicted first. Class is thread-safe. Instances are created
+ * by Text#enableQueryCache(int maxEntries, long maxWeight) method.
+ */
+public class QueryCache {
+
+    /**
+     * Enumeration of the Text query methods, which results can be cached.
+     */
+    enum Query {
+        OCCUR_FREQ,
+        OCCUR_FREQ_PER_SENTENCE
+    }
+
+    /**
+     * Class represents a normalized query: a query method and a set of queried tokens.
+     */
+    private static class Key {
+
+        private final Query query;
+
+        private final Set<TextToken> tokens;
+
+        /**
+         * Hash code, that is computed once on creation, so lookups under the lock
+         * of the cache don't hash the set of tokens again.
+         */
+        private final int hash;
+
+        Key(Query query, Collection<TextToken> tokens) {
+            this.query = query;
+            this.tokens = new HashSet<>(tokens);
+            this.hash = Objects.hash(query, this.tokens);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return this == other
+                    || other instanceof Key
+                    && this.hash == ((Key) other).hash
+                    && this.query == ((Key) other).query
+                    && this.tokens.equals(((Key) other).tokens);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Class represents a cached result together with its weight.
+     */
+    private static class Entry {
+
+        private final Object result;
+
+        private final long weight;
+
+        Entry(Object result, long weight) {
+            this.result = result;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * Maximal quantity of entries in this cache.
+     */
+    private final int maxEntries;
+
+    /**
+     * Maximal total weight of entries in this cache.
+     */
+    private final long maxWeight;
+
+    /**
+     * Storage of cached results in the order of access: from the least recently used
+     * to the most recently used.
+     */
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    /**
+     * @param maxEntries maximal quantity of entries in this cache.
+     * @param maxWeight  maximal total weight of entries in this cache.
+     * @throws IllegalArgumentException in case, if any of passed values is less than 1.
+     */
+    QueryCache(int maxEntries, long maxWeight) {
+        if (maxEntries < 1 || maxWeight < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns quantity of entries in this cache.
+     *
+     * @return quantity of entries in this cache.
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns total weight of entries in this cache.
+     *
+     * @return total weight of entries in this cache.
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    /**
+     * Removes all the entries from this cache. Hit and miss statistics is preserved.
+     */
+    public synchronized void invalidate() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Gets cached result of the query and updates hit and miss statistics.
+     * Returned object is shared with the cache and must not be modified.
+     *
+     * @param query  query method.
+     * @param tokens queried tokens.
+     * @return cached result; or null, if the result of the query is not cached.
+     */
+    @SuppressWarnings("unchecked")
+    <T> T get(Query query, Collection<TextToken> tokens) {
+        Key key = new Key(query, tokens);
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+            hitCount++;
+            return (T) entry.result;
+        }
+    }
+
+    /**
+     * Puts result of the query to this cache, evicting least recently used entries,
+     * until both quantity and weight bounds are satisfied. Result, which weight exceeds
+     * the maximal total weight, is not cached. Passed result must not be modified afterwards.
+     *
+     * @param query  query method.
+     * @param tokens queried tokens.
+     * @param result result of the query.
+     * @param weight weight of the result.
+     */
+    void put(Query query, Collection<TextToken> tokens, Object result, long weight) {
+        if (weight > maxWeight) {
+            return;
+        }
+        Key key = new Key(query, tokens);
+        Entry entry = new Entry(result, weight);
+        synchronized (this) {
+            Entry replaced = entries.put(key, entry);
+            this.weight += weight - ((replaced == null) ? 0 : replaced.weight);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (entries.size() > maxEntries || this.weight > maxWeight) {
+                this.weight -= eldest.next().weight;
+                eldest.remove();
+            }
+        }
+    }
+}
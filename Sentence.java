@@ -20,54 +20,51 @@ public class Sentence extends TextToken {
     public static final Pattern PATTERN = Pattern.compile("([^\\s\\p{Cntrl}]|\\s)+?(([.!?]+(\\s+|$))|(\\n+(?=( {3,}|\\t+)\\p{javaUpperCase})))");
 
     /**
-     * Sub-class, that overrides PunctMark.#parse(String inputSeq) method,
-     * excluding input sequence check from the default steps of parse procedure.
-     * Class instances are used in conditions, where input sequence is guaranteed
-     * matches the PunctMark.PATTERN.
-     */
-    private static class PunctMarkCheckFree extends PunctMark {
-
-        /**
-         * Overrides the sequence of steps to parse TextToken object
-         * from input sequence, that are determined in PunctMark#parse(String inputSeq) method.
-         * Excludes input sequence check from the default steps of parse procedure.
-         *
-         * @param inputSeq input String object to be parsed.
-         * @return result of parsing.
-         * @see TextToken#parse(String inputSeq)
-         */
-        @Override
-        public PunctMark parse(String inputSeq) {
-            subTokens = splitToSubTokens(inputSeq);
-            return this;
-        }
-    }
+     * Sequence of sub-tokens, that is used for counting occurrences by reference
+     * comparison; list of sub-tokens of this instance is a view of this array.
+     *
+     * @see #occurFreqInterned(TextToken canonical)
+     */
+    private TextToken[] tokenArr;
 
     /**
-     * Sub-class, that overrides Word.#parse(String inputSeq) method,
-     * excluding input sequence check from the default steps of parse procedure.
-     * Class instances are used in conditions, where input sequence is guaranteed
-     * matches the Word.PATTERN.
+     * Quantity of bits of Bloom filter per one sub-token of this instance.
      */
-    private static class WordCheckFree extends Word {
+    private static final int BLOOM_BITS_PER_TOKEN = 8;
 
-        /**
-         * Overrides the sequence of steps to parse TextToken object
-         * from input sequence, that are determined in Word#parse(String inputSeq) method.
-         * Excludes input sequence check from the default steps of parse procedure.
-         *
-         * @param inputSeq input String object to be parsed.
-         * @return result of parsing.
-         * @see TextToken#parse(String inputSeq)
-         */
-        @Override
-        public Word parse(String inputSeq) {
-            subTokens = splitToSubTokens(inputSeq);
-            return this;
-        }
-    }
+    /**
+     * Bloom filter of cached references of sub-tokens of this instance, that allows
+     * to skip scanning of sub-tokens, if a token certainly doesn't occur in this instance.
+     *
+     * @see #mightContain(TextToken canonical)
+     */
+    private long[] bloom;
+
+    /**
+     * Right shift, that reduces a 32-bit hash to the index of a bit in Bloom filter.
+     */
+    private int bloomShift;
+
+    /**
+     * Grammar, according to which this instance is split to sub-tokens.
+     */
+    private final Grammar grammar;
 
     public Sentence() {
+        this(Grammar.DEFAULT);
+    }
+
+    /**
+     * Constructor, that specifies a grammar, according to which this instance
+     * is split to sub-tokens.
+     *
+     * @throws IllegalArgumentException in case, if passed grammar is null.
+     */
+    public Sentence(Grammar grammar) {
+        if (grammar == null) {
+            throw new IllegalArgumentException();
+        }
+        this.grammar = grammar;
     }
 
     @Override
@@ -81,7 +78,7 @@ public class Sentence extends TextToken {
 
     @Override
     public int hashCode() {
-        return Objects.hash(PATTERN.pattern(), subTokens);
+        return Objects.hash(getPattern().pattern(), subTokens);
     }
 
 
@@ -98,7 +95,58 @@ public class Sentence extends TextToken {
      */
     public int occurFreq(TextToken token) {
         checkIfParsed();
-        return (cache.get(token) == null) ? 0 : Collections.frequency(subTokens, token);
+        TextToken canonical = (cache == null) ? findCached(token) : cache.get(token);
+        return (canonical == null) ? 0 : occurFreqInterned(canonical);
+    }
+
+    /**
+     * Finds the sub-token of this instance, that is equal to the passed token.
+     * Method is used instead of the lookup in the cache of this instance, if sub-tokens
+     * are cached externally, e.g. in the cache of a Text instance.
+     *
+     * @param token TextToken-object to be found.
+     * @return cached reference of an equal sub-token; or null, if no equal sub-token found.
+     */
+    private TextToken findCached(TextToken token) {
+        for (TextToken sub : tokenArr) {
+            if (sub.equals(token)) {
+                return sub;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method calculates occurrence quantity of passed TextToken-object in the list
+     * of sub-tokens of this instance, comparing references only. As all the sub-tokens
+     * are placed to the list through #toCache(TextToken token) method, any sub-token equal
+     * to the passed one is the same reference, if the passed reference is a cached one.
+     * Method is intended for callers, that have already resolved cached reference of a token,
+     * e.g. Text instance, which shares its cache with its sentences.
+     *
+     * @param canonical cached TextToken reference, which occurrence quantity to be calculated.
+     * @return occurrence quantity.
+     */
+    int occurFreqInterned(TextToken canonical) {
+        return mightContain(canonical) ? countInterned(canonical) : 0;
+    }
+
+    /**
+     * Counts sub-tokens of this instance, that are the passed reference, without
+     * checking Bloom filter first.
+     *
+     * @param canonical cached TextToken reference, which occurrence quantity to be calculated.
+     * @return occurrence quantity.
+     * @see #occurFreqInterned(TextToken canonical)
+     */
+    int countInterned(TextToken canonical) {
+        int freq = 0;
+        for (TextToken sub : tokenArr) {
+            if (sub == canonical) {
+                freq++;
+            }
+        }
+        return freq;
     }
 
     /**
@@ -120,42 +168,71 @@ public class Sentence extends TextToken {
      */
     @Override
     protected Pattern getPattern() {
-        return PATTERN;
+        return grammar.getSentencePattern();
     }
 
     /**
      * Determines the logic of splitting of input string sequence to the
-     * sequence of sub-tokens. Method successively creates Word and PuncMarc instances
-     * from the matched sub-strings of input string. Method is used in default implementation
+     * sequence of sub-tokens. Method successively creates TextToken instances of the token
+     * classes of the grammar from the matched sub-strings of input string, searching
+     * all the token classes in one pass. Method is used in default implementation
      * of TextToken#parse(String inputSeq) method.
      *
      * @param input input sequence to be split.
      * @return List object, containing sequence of split sub-tokens.
      * @see TextToken#parse(String inputSeq)
+     * @see Grammar
      */
     @Override
     protected List<TextToken> splitToSubTokens(String input) {
         List<TextToken> elements = new ArrayList<>();
-        Matcher pmMatcher = PunctMark.PATTERN.matcher(input);
-        Matcher wMatcher = Word.PATTERN.matcher(input);
-        int startIndex = 0;
-        boolean b1, b2;
-        while ((b1 = pmMatcher.find(startIndex)) | (b2 = wMatcher.find(startIndex))) {
-            elements.add(b1 ^ b2
-                    ?
-                    b1
-                            ? toCache(new PunctMarkCheckFree().parse(pmMatcher.group()))
-                            : toCache(new WordCheckFree().parse(wMatcher.group()))
-                    :
-                    pmMatcher.start() < wMatcher.start()
-                            ? toCache(new PunctMarkCheckFree().parse(pmMatcher.group()))
-                            : toCache(new WordCheckFree().parse(wMatcher.group()))
-            );
-            startIndex = (elements.get(elements.size() - 1) instanceof PunctMark)
-                    ? pmMatcher.end()
-                    : wMatcher.end();
+        Matcher mat = grammar.tokenMatcher(input);
+        while (mat != null && mat.find()) {
+            elements.add(toCache(grammar.createToken(mat)));
+        }
+        tokenArr = elements.toArray(new TextToken[elements.size()]);
+        buildBloom();
+        return Arrays.asList(tokenArr);
+    }
+
+    /**
+     * Fills Bloom filter with the cached references of sub-tokens of this instance.
+     * Filter size is a power of two not less than 64 bits, two bits are set per sub-token.
+     * Identity hash codes are used, as sub-tokens are compared by reference.
+     */
+    private void buildBloom() {
+        int bits = Long.SIZE;
+        while (bits < tokenArr.length * BLOOM_BITS_PER_TOKEN) {
+            bits <<= 1;
         }
-        return elements;
+        bloom = new long[bits / Long.SIZE];
+        bloomShift = Integer.SIZE - Integer.numberOfTrailingZeros(bits);
+        for (TextToken sub : tokenArr) {
+            int hash = System.identityHashCode(sub);
+            setBloomBit((hash * 0x9E3779B9) >>> bloomShift);
+            setBloomBit((hash * 0x85EBCA6B) >>> bloomShift);
+        }
+    }
+
+    private void setBloomBit(int index) {
+        bloom[index >>> 6] |= 1L << index;
+    }
+
+    private boolean isBloomBitSet(int index) {
+        return (bloom[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks if the passed cached reference can occur among sub-tokens of this instance.
+     *
+     * @param canonical cached TextToken reference to be checked.
+     * @return false if the reference certainly doesn't occur among sub-tokens of this instance;
+     * true if it possibly occurs.
+     */
+    private boolean mightContain(TextToken canonical) {
+        int hash = System.identityHashCode(canonical);
+        return isBloomBitSet((hash * 0x9E3779B9) >>> bloomShift)
+                && isBloomBitSet((hash * 0x85EBCA6B) >>> bloomShift);
     }
 
     /**
@@ -0,0 +1,172 @@
+package tasks.task2.variant10;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class represents a publisher of Sentence instances, which are parsed lazily from
+ * the source of a Text, as they are returned by Text#stream() method. Sentences are parsed
+ * only on demand: no more sentences are parsed, than the subscriber has requested through
+ * Flow.Subscription#request(long n), and sentences are delivered on the thread, that
+ * requests them. As the source of a Text can be consumed only once, publisher accepts
+ * a single subscriber; any further subscriber is signalled with IllegalStateException.
+ */
+public class SentencePublisher implements Flow.Publisher<Sentence> {
+
+    /**
+     * Subscription, that is passed to rejected subscribers before the error signal.
+     */
+    private static final Flow.Subscription REJECTED = new Flow.Subscription() {
+
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    /**
+     * Class represents a subscription, that delivers sentences to the subscriber
+     * according to the requested demand.
+     */
+    private static class SentenceSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Sentence> subscriber;
+
+        /**
+         * Iterator over the stream of sentences parsed from the source.
+         */
+        private final Iterator<Sentence> sentences;
+
+        /**
+         * Quantity of requested, but not yet delivered sentences.
+         */
+        private final AtomicLong demand = new AtomicLong();
+
+        /**
+         * Quantity of pending #drain() invocations, that guarantees, that signals
+         * are delivered by one thread at a time and without recursion, even if
+         * #request(long n) is invoked from within Flow.Subscriber#onNext(Object item).
+         */
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean isCancelled;
+
+        /**
+         * Error to be signalled on the next #drain() invocation, e.g. caused by
+         * a non-positive request.
+         */
+        private volatile Throwable pendingError;
+
+        SentenceSubscription(Flow.Subscriber<? super Sentence> subscriber, Iterator<Sentence> sentences) {
+            this.subscriber = subscriber;
+            this.sentences = sentences;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                pendingError = new IllegalArgumentException("non-positive request: " + n);
+            } else {
+                demand.getAndAccumulate(n, (current, add) -> {
+                    long sum = current + add;
+                    return (sum < 0) ? Long.MAX_VALUE : sum;
+                });
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        /**
+         * Delivers parsed sentences, while there is demand, and signals completion
+         * or error, when the source is exhausted or can not be parsed.
+         */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                while (!isCancelled) {
+                    Throwable error = pendingError;
+                    if (error != null) {
+                        isCancelled = true;
+                        subscriber.onError(error);
+                        return;
+                    }
+                    if (demand.get() == 0) {
+                        break;
+                    }
+                    Sentence next;
+                    try {
+                        next = sentences.hasNext() ? sentences.next() : null;
+                    } catch (RuntimeException e) {
+                        isCancelled = true;
+                        subscriber.onError(e);
+                        return;
+                    }
+                    if (next == null) {
+                        isCancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    demand.decrementAndGet();
+                    subscriber.onNext(next);
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+
+    private final Text text;
+
+    /**
+     * Indicates if the only subscriber was already accepted.
+     */
+    private final AtomicBoolean isSubscribed = new AtomicBoolean();
+
+    /**
+     * Constructor, that specifies a Text instance, which source is parsed
+     * to the published sentences.
+     *
+     * @throws IllegalArgumentException in case, if passed text is null.
+     */
+    public SentencePublisher(Text text) {
+        if (text == null) {
+            throw new IllegalArgumentException();
+        }
+        this.text = text;
+    }
+
+    /**
+     * Subscribes the passed subscriber to the sentences of the source of the text.
+     * The source is consumed by the first subscription.
+     *
+     * @param subscriber subscriber to be subscribed.
+     * @throws NullPointerException in case, if passed subscriber is null.
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super Sentence> subscriber) {
+        Objects.requireNonNull(subscriber);
+        Iterator<Sentence> sentences;
+        try {
+            if (!isSubscribed.compareAndSet(false, true)) {
+                throw new IllegalStateException("publisher accepts a single subscriber");
+            }
+            sentences = text.stream().iterator();
+        } catch (IllegalStateException e) {
+            subscriber.onSubscribe(REJECTED);
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new SentenceSubscription(subscriber, sentences));
+    }
+}
@@ -2,8 +2,13 @@
 package tasks.task2.variant10;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Class represents a structural unit containing
@@ -14,18 +19,57 @@ import java.util.regex.Pattern;
  */
 public class Text extends TextToken {
 
+    /**
+     * Sub-class, that overrides Sentence#parse(String inputSeq) method,
+     * excluding input sequence check from the default steps of parse procedure.
+     * Class instances are used in conditions, where input sequence is guaranteed
+     * matches the sentence pattern of the grammar.
+     */
+    private static class SentenceCheckFree extends Sentence {
+
+        SentenceCheckFree(Grammar grammar) {
+            super(grammar);
+        }
+
+        /**
+         * Overrides super-class method allowing to parse a Sentence
+         * without invocation input check method. As well as the super-class
+         * method, it doesn't parse an already parsed instance again, so sentences
+         * of a parsed Text can not be modified.
+         *
+         * @param inputSeq input String object to be parsed.
+         * @return Sentence object - result of parsing.
+         * @see Sentence#parse(String inputSeq)
+         */
+        @Override
+        public Sentence parse(String inputSeq) {
+            if (subTokens != null) {
+                return this;
+            }
+            subTokens = splitToSubTokens(inputSeq);
+            return this;
+        }
+    }
+
     /**
      * Class represents a navigation tool for searching Sentence instances in source,
      * which role can be performed by a String or a Reader instance.
      */
     private class SentenceIterator extends TextToken.Iterator<Sentence> {
 
+        /**
+         * Indicates if sub-tokens of created sentences are stored in the cache
+         * of Text.this instance; otherwise each sentence caches its sub-tokens locally
+         * and holds no reference to Text.this instance.
+         */
+        private boolean isCachedInText = true;
+
         /**
          * Constructor, that specifies a String instance as a source
          * to search in.
          */
         SentenceIterator(String src) {
-            super(src);
+            super(src, grammar.getSentencePattern());
         }
 
         /**
@@ -33,15 +77,16 @@ public class Text extends TextToken {
          * to search in.
          */
         SentenceIterator(Reader src) {
-            super(src);
+            super(src, grammar.getSentencePattern());
         }
 
         /**
          * Determines type of an object, that is returned by super.next() method invocation.
          * Method returns Sentence sub-class, that overrides Sentence#parse(String inputSeq)
-         * and TextToken#toCache(TextToken token) methods allowing to parse a Sentence
-         * without invocation input check method and allowing to store cached sub-tokens
-         * of a sentence in external cache i.e. in the cache of Text.this instance.
+         * method allowing to parse a Sentence without invocation input check method.
+         * If #isCachedInText is set, the sub-class also overrides TextToken#toCache(TextToken token)
+         * method allowing to store cached sub-tokens of a sentence in external cache
+         * i.e. in the cache of Text.this instance.
          *
          * @param inputSeq input sequence for parsing by a newly created object.
          * @return Sentence object, that is returned by #next() method.
@@ -49,27 +94,19 @@ public class Text extends TextToken {
          */
         @Override
         protected Sentence getInstance(String inputSeq) {
-            return (inputSeq == null)
-                    ? null
-                    : new Sentence() {
-
-                /**
-                 * Overrides super-class method allowing to parse a Sentence
-                 * without invocation input check method
-                 *
-                 * @param inputSeq input String object to be parsed.
-                 * @return Sentence object - result of parsing.
-                 * @see Sentence#parse(String inputSeq)
-                 */
-                @Override
-                public Sentence parse(String inputSeq) {
-                    subTokens = splitToSubTokens(inputSeq);
-                    return this;
-                }
+            if (inputSeq == null) {
+                return null;
+            }
+            if (!isCachedInText) {
+                return new SentenceCheckFree(grammar).parse(inputSeq);
+            }
+            return new SentenceCheckFree(grammar) {
 
                 /**
                  * Overrides super-class method allowing to store cached sub-tokens
                  * of a sentence in external cache i.e. in the cache of Text.this instance.
+                 * Sub-tokens are not cached in the sentence itself, as the cache of
+                 * Text.this instance already holds them.
                  *
                  * @param token TextToken reference to be added to cache.
                  * @return result of caching: passed reference if passed reference is a new one in cache;
@@ -79,17 +116,173 @@ public class Text extends TextToken {
                 protected TextToken toCache(TextToken token) {
                     TextToken cached = Text.this.cache.get(token);
                     if (cached != null) {
-                        super.toCache(cached);
                         return cached;
                     }
                     Text.this.cache.put(token, token);
-                    super.toCache(token);
                     return token;
                 }
             }.parse(inputSeq);
         }
     }
 
+    /**
+     * Class represents a sparse accumulator of occurrences of several tokens in sentences:
+     * for each token it stores only the pairs of index of a sentence, in which the token occurs,
+     * and occurrence quantity. Instances are used by parallel tasks of
+     * #occurFreqPerSentence(List tokens) method and merged at the end.
+     */
+    private static class SparseOccurrences {
+
+        /**
+         * Pairs of sentence index and occurrence quantity for each token, stored successively;
+         * element is null, if the token has no occurrences yet.
+         */
+        private final int[][] pairs;
+
+        /**
+         * Quantity of used elements of the arrays of pairs for each token.
+         */
+        private final int[] sizes;
+
+        SparseOccurrences(int tokenCount) {
+            this.pairs = new int[tokenCount][];
+            this.sizes = new int[tokenCount];
+        }
+
+        /**
+         * Adds occurrence quantity of the token in the sentence.
+         *
+         * @param token    index of the token.
+         * @param sentence index of the sentence.
+         * @param freq     occurrence quantity.
+         */
+        void add(int token, int sentence, int freq) {
+            ensureCapacity(token, 2);
+            pairs[token][sizes[token]++] = sentence;
+            pairs[token][sizes[token]++] = freq;
+        }
+
+        /**
+         * Adds all the occurrences accumulated by the other instance.
+         *
+         * @param other instance to be merged into this one.
+         */
+        void addAll(SparseOccurrences other) {
+            for (int t = 0; t < pairs.length; t++) {
+                if (other.sizes[t] != 0) {
+                    ensureCapacity(t, other.sizes[t]);
+                    System.arraycopy(other.pairs[t], 0, pairs[t], sizes[t], other.sizes[t]);
+                    sizes[t] += other.sizes[t];
+                }
+            }
+        }
+
+        /**
+         * Puts accumulated occurrences of the token to the passed map, using
+         * sentence index as a key and occurrence quantity as a value.
+         *
+         * @param token index of the token.
+         * @param dest  map to put the occurrences to.
+         */
+        void putTo(int token, Map<Integer, Integer> dest) {
+            for (int k = 0; k < sizes[token]; k += 2) {
+                dest.put(pairs[token][k], pairs[token][k + 1]);
+            }
+        }
+
+        private void ensureCapacity(int token, int extra) {
+            int required = sizes[token] + extra;
+            if (pairs[token] == null) {
+                pairs[token] = new int[Math.max(8, required)];
+            } else if (pairs[token].length < required) {
+                pairs[token] = Arrays.copyOf(pairs[token], Math.max(pairs[token].length * 2, required));
+            }
+        }
+    }
+
+    /**
+     * Class represents a Spliterator over Sentence instances, which are parsed
+     * from source lazily, one per #tryAdvance(Consumer action) invocation.
+     * Splitting is inherited from Spliterators.AbstractSpliterator: already parsed
+     * sentences are handed off in batches of growing size, while parsing itself
+     * stays on the thread, that traverses this instance.
+     */
+    private static class SentenceSpliterator extends Spliterators.AbstractSpliterator<Sentence> {
+
+        /**
+         * Iterator, that is used for parsing Sentence instances from source.
+         */
+        private SentenceIterator source;
+
+        SentenceSpliterator(SentenceIterator source) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.source = source;
+        }
+
+        /**
+         * Parses next Sentence instance from source and passes it to the action.
+         * Releases the source after the last sentence is parsed.
+         *
+         * @param action action to be performed on the parsed sentence.
+         * @return false if no more sentences are available in source, true otherwise.
+         */
+        @Override
+        public boolean tryAdvance(Consumer<? super Sentence> action) {
+            if (source == null) {
+                return false;
+            }
+            if (!source.hasNext()) {
+                source = null;
+                return false;
+            }
+            action.accept(source.next());
+            return true;
+        }
+    }
+
+    /**
+     * Default minimal quantity of sentences for parallel processing of queries.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 2048;
+
+    /**
+     * Minimal quantity of sentences, starting from which queries are processed in parallel.
+     *
+     * @see #setParallelThreshold(int parallelThreshold)
+     */
+    private volatile int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * Grammar, according to which the source is split to sentences
+     * and sentences are split to tokens.
+     */
+    private final Grammar grammar;
+
+    /**
+     * Unmodifiable list of sentences of a frozen instance; or null, if this
+     * instance is not frozen. Final field guarantees, that a frozen instance
+     * and all the parsed tokens reachable from it are visible to any thread
+     * without synchronization.
+     *
+     * @see #freeze()
+     */
+    private final List<TextToken> frozenSentences;
+
+    /**
+     * Unmodifiable cache of tokens of a frozen instance; or null, if this
+     * instance is not frozen.
+     *
+     * @see #freeze()
+     */
+    private final Map<TextToken, TextToken> frozenCache;
+
+    /**
+     * Cache of query results; or null, if caching is not enabled.
+     *
+     * @see #enableQueryCache(int maxEntries, long maxWeight)
+     */
+    private volatile QueryCache queryCache;
+
     /**
      * Instance of SentenceIterator, that is used for parsing Sentence
      * instances from source
@@ -101,6 +294,19 @@ public class Text extends TextToken {
      * to search in.
      */
     public Text(String src) {
+        this(src, Grammar.DEFAULT);
+    }
+
+    /**
+     * Constructor, that specifies a String instance as a source
+     * to search in and a grammar, according to which the source is parsed.
+     *
+     * @throws IllegalArgumentException in case, if passed grammar is null.
+     */
+    public Text(String src, Grammar grammar) {
+        this.grammar = checkGrammar(grammar);
+        this.frozenSentences = null;
+        this.frozenCache = null;
         this.cache = new HashMap<>();
         this.iter = new SentenceIterator(src);
     }
@@ -110,10 +316,106 @@ public class Text extends TextToken {
      * to search in.
      */
     public Text(Reader src) {
+        this(src, Grammar.DEFAULT);
+    }
+
+    /**
+     * Constructor, that specifies a Reader instance as a source
+     * to search in and a grammar, according to which the source is parsed.
+     *
+     * @throws IllegalArgumentException in case, if passed grammar is null.
+     */
+    public Text(Reader src, Grammar grammar) {
+        this.grammar = checkGrammar(grammar);
+        this.frozenSentences = null;
+        this.frozenCache = null;
         this.cache = new HashMap<>();
         this.iter = new SentenceIterator(src);
     }
 
+    /**
+     * Constructor, that specifies an InputStream instance with the passed charset
+     * as a source to search in. Source bytes are read and decoded at once in bulk,
+     * which is considerably faster for UTF-8 and single-byte charsets like windows-1251,
+     * than incremental decoding through a Reader, and then sentences are searched
+     * directly in the decoded string.
+     *
+     * @throws UncheckedIOException in case, if the source can not be read.
+     */
+    public Text(InputStream src, Charset charset) {
+        this(src, charset, Grammar.DEFAULT);
+    }
+
+    /**
+     * Constructor, that specifies an InputStream instance with the passed charset
+     * as a source to search in and a grammar, according to which the source is parsed.
+     *
+     * @throws IllegalArgumentException in case, if passed grammar is null.
+     * @throws UncheckedIOException     in case, if the source can not be read.
+     * @see #Text(InputStream src, Charset charset)
+     */
+    public Text(InputStream src, Charset charset, Grammar grammar) {
+        this.grammar = checkGrammar(grammar);
+        this.frozenSentences = null;
+        this.frozenCache = null;
+        this.cache = new HashMap<>();
+        this.iter = new SentenceIterator((src == null) ? null : decode(src, charset));
+    }
+
+    /**
+     * Constructor, that creates a frozen copy of the passed parsed instance.
+     *
+     * @see #freeze()
+     */
+    private Text(Text parsed) {
+        this.grammar = parsed.grammar;
+        this.frozenSentences = Collections.unmodifiableList(new ArrayList<>(parsed.sentences()));
+        this.frozenCache = Collections.unmodifiableMap(new HashMap<>(parsed.vocabulary()));
+        this.subTokens = frozenSentences;
+        this.cache = frozenCache;
+        this.parallelThreshold = parsed.parallelThreshold;
+    }
+
+    /**
+     * Creates a frozen, i.e. immutable, copy of this parsed instance. Frozen instance shares
+     * parsed sentences with this one, but neither its list of sentences nor its cache
+     * can be modified, and parsed sentences ignore repeated #parse(String inputSeq)
+     * invocations and expose their sub-tokens as unmodifiable views. It is safe to publish
+     * a frozen instance to other threads without synchronization, and to invoke query
+     * methods concurrently: they only read the parsed data and don't take locks, unless
+     * the cache of query results is enabled.
+     *
+     * @return frozen copy of this instance; or this instance, if it is already frozen.
+     * @throws IllegalStateException in case, if method was invoked before #parse()
+     *                               method invocation.
+     */
+    public Text freeze() {
+        checkIfParsed();
+        return isFrozen() ? this : new Text(this);
+    }
+
+    /**
+     * Checks if this instance is frozen.
+     *
+     * @return true if this instance is frozen.
+     * @see #freeze()
+     */
+    public boolean isFrozen() {
+        return frozenSentences != null;
+    }
+
+    /**
+     * Returns unmodifiable view of the list of parsed sentences.
+     *
+     * @return unmodifiable list of parsed sentences; or empty list, if the source
+     * is not parsed yet.
+     */
+    @Override
+    public List<TextToken> getSubTokens() {
+        List<TextToken> sentences = sentences();
+        return (sentences == null) ? Collections.emptyList() : Collections.unmodifiableList(sentences);
+    }
+
     /**
      * Gets Sentence instance stored in the internal list of sub-tokens.
      * Method can not be invoked before #parse() method invocation.
@@ -126,10 +428,11 @@ public class Text extends TextToken {
      */
     public Sentence getSentence(int index) {
         checkIfParsed();
-        if (index < 0 || index >= subTokens.size()) {
+        List<TextToken> sentences = sentences();
+        if (index < 0 || index >= sentences.size()) {
             throw new IllegalArgumentException();
         }
-        return (Sentence) subTokens.get(index);
+        return (Sentence) sentences.get(index);
     }
 
     /**
@@ -144,17 +447,52 @@ public class Text extends TextToken {
      */
     public Map<TextToken, Integer> occurFreq(List<TextToken> tokens) {
         checkIfParsed();
+        QueryCache qc = queryCache;
+        Map<TextToken, Integer> cached = (qc == null) ? null : qc.get(QueryCache.Query.OCCUR_FREQ, tokens);
+        if (cached != null) {
+            return new HashMap<>(cached);
+        }
+        Map<TextToken, Integer> res = countOccurFreq(tokens);
+        if (qc != null) {
+            qc.put(QueryCache.Query.OCCUR_FREQ, tokens, new HashMap<>(res), res.size());
+        }
+        return res;
+    }
+
+    /**
+     * Calculates occurrence quantity of TextToken instances from the passed list.
+     *
+     * @param tokens list of TextToken instances which occurrence quantity to be estimated.
+     * @return map instance, which uses TextToken instance from input list as a key and Integer value
+     * of occurrence quantity as a value.
+     * @see #occurFreq(List tokens)
+     */
+    private Map<TextToken, Integer> countOccurFreq(List<TextToken> tokens) {
+        TextToken[] canonical = toCanonical(tokens);
         Map<TextToken, Integer> res = new HashMap<>();
         for (TextToken token : tokens) {
-            if (cache.get(token) == null) {
-                res.put(token, 0);
-            } else {
-                int freq = 0;
-                for (TextToken sub : subTokens) {
-                    freq += ((Sentence) sub).occurFreq(token);
-                }
-                res.put(token, freq);
-            }
+            res.put(token, 0);
+        }
+        int[] toCount = presentTokens(canonical);
+        if (toCount.length == 0) {
+            return res;
+        }
+        List<TextToken> sentences = sentences();
+        int[] freq = sentenceIndexes()
+                .collect(() -> new int[toCount.length],
+                        (acc, i) -> {
+                            Sentence sentence = (Sentence) sentences.get(i);
+                            for (int p = 0; p < toCount.length; p++) {
+                                acc[p] += sentence.occurFreqInterned(canonical[toCount[p]]);
+                            }
+                        },
+                        (acc, other) -> {
+                            for (int p = 0; p < acc.length; p++) {
+                                acc[p] += other[p];
+                            }
+                        });
+        for (int p = 0; p < toCount.length; p++) {
+            res.put(tokens.get(toCount[p]), freq[p]);
         }
         return res;
     }
@@ -172,19 +510,113 @@ public class Text extends TextToken {
      */
     public Map<TextToken, Map<Integer, Integer>> occurFreqPerSentence(List<TextToken> tokens) {
         checkIfParsed();
+        QueryCache qc = queryCache;
+        Map<TextToken, Map<Integer, Integer>> cached = (qc == null)
+                ? null
+                : qc.get(QueryCache.Query.OCCUR_FREQ_PER_SENTENCE, tokens);
+        if (cached != null) {
+            return copyPerSentence(cached);
+        }
+        Map<TextToken, Map<Integer, Integer>> res = countOccurFreqPerSentence(tokens);
+        if (qc != null) {
+            long weight = res.size();
+            for (Map<Integer, Integer> perSentence : res.values()) {
+                weight += perSentence.size();
+            }
+            qc.put(QueryCache.Query.OCCUR_FREQ_PER_SENTENCE, tokens, copyPerSentence(res), weight);
+        }
+        return res;
+    }
+
+    /**
+     * Calculates occurrence quantity of TextToken instances from the passed list
+     * in each sentence of parsed text.
+     *
+     * @param tokens list of TextToken instances which occurrence frequency to be estimated.
+     * @return map instance, which uses TextToken instance from input list as a key and a map instance
+     * as a value. Key of a value-map represents index of sentence, in which the occurrence took place,
+     * value of a value-map represents occurrence quantity.
+     * @see #occurFreqPerSentence(List tokens)
+     */
+    private Map<TextToken, Map<Integer, Integer>> countOccurFreqPerSentence(List<TextToken> tokens) {
+        TextToken[] canonical = toCanonical(tokens);
+        List<TextToken> sentences = sentences();
         Map<TextToken, Map<Integer, Integer>> res = new HashMap<>();
         for (TextToken token : tokens) {
             res.put(token, new HashMap<>());
-            for (int i = 0; i < subTokens.size(); i++) {
-                int occur = ((Sentence) subTokens.get(i)).occurFreq(token);
-                if (occur > 0) {
-                    res.get(token).put(i, occur);
-                }
-            }
+        }
+        int[] toCount = presentTokens(canonical);
+        if (toCount.length == 0) {
+            return res;
+        }
+        SparseOccurrences occur = sentenceIndexes()
+                .collect(() -> new SparseOccurrences(toCount.length),
+                        (acc, i) -> {
+                            Sentence sentence = (Sentence) sentences.get(i);
+                            for (int p = 0; p < toCount.length; p++) {
+                                int freq = sentence.occurFreqInterned(canonical[toCount[p]]);
+                                if (freq > 0) {
+                                    acc.add(p, i, freq);
+                                }
+                            }
+                        },
+                        SparseOccurrences::addAll);
+        for (int p = 0; p < toCount.length; p++) {
+            occur.putTo(p, res.get(tokens.get(toCount[p])));
         }
         return res;
     }
 
+    /**
+     * Sets the minimal quantity of sentences, starting from which query methods
+     * split the sentences into ranges processed in parallel in the common ForkJoinPool.
+     * Texts with less sentences are processed sequentially.
+     *
+     * @param parallelThreshold minimal quantity of sentences for parallel processing.
+     * @throws IllegalArgumentException in case, if passed value is less than 1.
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        if (parallelThreshold < 1) {
+            throw new IllegalArgumentException();
+        }
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Enables caching of results of #occurFreq(List tokens) and #occurFreqPerSentence(List tokens)
+     * methods, and thus of #sortByOccurFreq(List tokens) method. Previously cached results are discarded.
+     * Query methods can be invoked only after #parse() method invocation, and a parsed instance
+     * never changes, so cached results never become stale and need no invalidation.
+     *
+     * @param maxEntries maximal quantity of cached results.
+     * @param maxWeight  maximal total quantity of elements in the cached results.
+     * @throws IllegalArgumentException in case, if any of passed values is less than 1.
+     * @see QueryCache
+     */
+    public void enableQueryCache(int maxEntries, long maxWeight) {
+        queryCache = new QueryCache(maxEntries, maxWeight);
+    }
+
+    /**
+     * Disables caching of query results and discards cached results.
+     */
+    public void disableQueryCache() {
+        queryCache = null;
+    }
+
+    /**
+     * Gets the cache of query results, e.g. to get hit and miss statistics.
+     *
+     * @return cache of query results; or null, if caching is not enabled.
+     */
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
     /**
      * Parses source text to the sequence of Sentence instances.
      * Logic of parsing is determined in overridden #splitToSubTokens(String input)
@@ -196,6 +628,30 @@ public class Text extends TextToken {
         return (Text) super.parse(null);
     }
 
+    /**
+     * Returns a sequential stream of Sentence instances, which are parsed from source
+     * on demand, i.e. each sentence becomes available to the consumer as soon as it is found
+     * in source, and no more sentences are parsed, than the consumer requests.
+     * Streamed sentences cache their sub-tokens locally and are stored neither in this instance
+     * nor in its cache, so memory consumption of sequential processing doesn't depend on the
+     * source size. Making the stream parallel breaks this bound: the spliterator then buffers
+     * parsed sentences in batches, which grow up to 2^25 sentences, to hand them off to other
+     * threads. Method consumes the source: neither #parse() nor this method can be invoked
+     * afterwards.
+     *
+     * @return stream of Sentence instances parsed from source.
+     * @throws IllegalStateException in case, if the source was already consumed by #parse()
+     *                               or by this method invocation.
+     * @see SentencePublisher
+     */
+    public Stream<Sentence> stream() {
+        checkIfSourceAvailable();
+        iter.isCachedInText = false;
+        SentenceSpliterator spliterator = new SentenceSpliterator(iter);
+        iter = null;
+        return StreamSupport.stream(spliterator, false);
+    }
+
     /**
      * Determines the logic of splitting of source data to the sequence of sub-tokens.
      * Method successively searches and creates Sentence instances. Method is used in default
@@ -207,6 +663,7 @@ public class Text extends TextToken {
      */
     @Override
     protected List<TextToken> splitToSubTokens(String input) {
+        checkIfSourceAvailable();
         List<TextToken> toReturn = new ArrayList<>();
         while (iter.hasNext()) {
             toReturn.add(iter.next());
@@ -223,7 +680,7 @@ public class Text extends TextToken {
      */
     public int size() {
         checkIfParsed();
-        return subTokens.size();
+        return sentences().size();
     }
 
     /**
@@ -256,11 +713,139 @@ public class Text extends TextToken {
      *                                  instance is null.
      */
     private void checkIfParsed() {
-        if (subTokens == null) {
+        if (sentences() == null) {
             throw new IllegalStateException("source not parsed yet");
         }
     }
 
+    /**
+     * Checks if the passed grammar is not null.
+     *
+     * @param grammar grammar to be checked.
+     * @return passed grammar.
+     * @throws IllegalArgumentException in case, if passed grammar is null.
+     */
+    private static Grammar checkGrammar(Grammar grammar) {
+        if (grammar == null) {
+            throw new IllegalArgumentException();
+        }
+        return grammar;
+    }
+
+    /**
+     * Reads all the bytes from the passed stream and decodes them with the passed charset.
+     *
+     * @param src     stream to be read.
+     * @param charset charset of the stream.
+     * @return decoded string.
+     * @throws UncheckedIOException in case, if the stream can not be read.
+     */
+    private static String decode(InputStream src, Charset charset) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buf = new byte[8192];
+        try {
+            int read;
+            while ((read = src.read(buf)) != -1) {
+                bytes.write(buf, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new String(bytes.toByteArray(), charset);
+    }
+
+    /**
+     * Gets the list of parsed sentences, reading it through the final field,
+     * if this instance is frozen.
+     *
+     * @return list of parsed sentences; or null, if the source is not parsed yet.
+     */
+    private List<TextToken> sentences() {
+        return (frozenSentences != null) ? frozenSentences : subTokens;
+    }
+
+    /**
+     * Gets the cache of tokens, reading it through the final field,
+     * if this instance is frozen.
+     *
+     * @return cache of tokens.
+     */
+    private Map<TextToken, TextToken> vocabulary() {
+        return (frozenCache != null) ? frozenCache : cache;
+    }
+
+    /**
+     * Makes a deep copy of the result of #occurFreqPerSentence(List tokens) method.
+     *
+     * @param src map to be copied.
+     * @return copy of the passed map.
+     */
+    private static Map<TextToken, Map<Integer, Integer>> copyPerSentence(Map<TextToken, Map<Integer, Integer>> src) {
+        Map<TextToken, Map<Integer, Integer>> copy = new HashMap<>();
+        for (Map.Entry<TextToken, Map<Integer, Integer>> entry : src.entrySet()) {
+            copy.put(entry.getKey(), new HashMap<>(entry.getValue()));
+        }
+        return copy;
+    }
+
+    /**
+     * Resolves cached references of the passed tokens.
+     *
+     * @param tokens list of TextToken instances to be resolved.
+     * @return array of cached references in the order of passed tokens; array element is null,
+     * if an equal token doesn't occur in the parsed text.
+     */
+    private TextToken[] toCanonical(List<TextToken> tokens) {
+        TextToken[] canonical = new TextToken[tokens.size()];
+        for (int t = 0; t < canonical.length; t++) {
+            canonical[t] = vocabulary().get(tokens.get(t));
+        }
+        return canonical;
+    }
+
+    /**
+     * Gets indexes of the tokens, which cached references are resolved,
+     * i.e. of the tokens, that occur in the parsed text.
+     *
+     * @param canonical cached references of tokens, as returned by #toCanonical(List tokens).
+     * @return indexes of non-null elements of the passed array.
+     */
+    private static int[] presentTokens(TextToken[] canonical) {
+        int[] present = new int[canonical.length];
+        int count = 0;
+        for (int t = 0; t < canonical.length; t++) {
+            if (canonical[t] != null) {
+                present[count++] = t;
+            }
+        }
+        return Arrays.copyOf(present, count);
+    }
+
+    /**
+     * Gets the stream of indexes of parsed sentences, which is parallel, if quantity
+     * of sentences is not less than #parallelThreshold, and sequential otherwise.
+     *
+     * @return stream of indexes of parsed sentences.
+     */
+    private IntStream sentenceIndexes() {
+        int size = sentences().size();
+        IntStream indexes = IntStream.range(0, size);
+        return (size >= parallelThreshold) ? indexes.parallel() : indexes;
+    }
+
+    /**
+     * Checks if the source of this instance is not consumed yet.
+     * Method is used to prevent parsing of the source, that was already
+     * consumed by #parse() or #stream() method invocation.
+     *
+     * @throws IllegalStateException if the source is already consumed.
+     */
+    private void checkIfSourceAvailable() {
+        if (iter == null) {
+            throw new IllegalStateException("source already consumed");
+        }
+    }
+
     public static void main(String[] args) throws FileNotFoundException {
         BufferedReader br = new BufferedReader(new FileReader("src/tasks/task2/variant10/resources/srcText.txt"));
         Text text = new Text(br);
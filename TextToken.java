@@ -28,6 +28,13 @@ public abstract class TextToken {
          */
         private boolean isInitSuccess;
 
+        /**
+         * Indicates if the first token was already searched. The first token is searched
+         * on the first #hasNext() or #next() method invocation, rather than in constructor,
+         * so the state of a sub-class is initialized by then.
+         */
+        private boolean isStarted;
+
         /**
          * Storage for the instance, that will be returned by the #next() method
          * invocation.
@@ -42,6 +49,15 @@ public abstract class TextToken {
          */
         private Scanner scan;
 
+        /**
+         * Matcher instance, which implements searching of sub-strings corresponding
+         * to the token pattern, if the source is a String instance. Unlike Scanner,
+         * it searches directly in the source without copying it to an internal buffer.
+         *
+         * @see #tokenPat
+         */
+        private Matcher mat;
+
         /**
          * Pattern that is used to find tokens.
          */
@@ -49,24 +65,22 @@ public abstract class TextToken {
 
         /**
          * Constructor, that specifies a String instance as a source
-         * to search in.
+         * to search in and a pattern, that is used to find tokens.
          */
-        public Iterator(String src) {
-            this.tokenPat = getTokenPattern();
-            this.scan = (src == null) ? null : new Scanner(src);
+        public Iterator(String src, Pattern tokenPat) {
+            this.tokenPat = tokenPat;
+            this.mat = (src == null || tokenPat == null) ? null : tokenPat.matcher(src);
             this.isInitSuccess = checkIfInitSuccessful();
-            this.nextToken = (isInitSuccess) ? getFirstToken() : null;
         }
 
         /**
          * Constructor, that specifies a Reader instance as a source
-         * to search in.
+         * to search in and a pattern, that is used to find tokens.
          */
-        public Iterator(Reader src) {
-            this.tokenPat = getTokenPattern();
+        public Iterator(Reader src, Pattern tokenPat) {
+            this.tokenPat = tokenPat;
             this.scan = (src == null) ? null : new Scanner(src);
             this.isInitSuccess = checkIfInitSuccessful();
-            this.nextToken = (isInitSuccess) ? getFirstToken() : null;
         }
 
         /**
@@ -81,13 +95,15 @@ public abstract class TextToken {
 
         @Override
         public boolean hasNext() {
+            start();
             return nextToken != null;
         }
 
         @Override
         public T next() {
+            start();
             T toReturn = nextToken;
-            nextToken = (toReturn == null) ? null : getInstance(scan.findWithinHorizon(tokenPat, 0));
+            nextToken = (toReturn == null) ? null : getInstance(findNext());
             return toReturn;
         }
 
@@ -97,28 +113,32 @@ public abstract class TextToken {
          * @return boolean flag indicating if the initialization was successful.
          */
         private boolean checkIfInitSuccessful() {
-            return scan != null && tokenPat != null;
+            return (scan != null || mat != null) && tokenPat != null;
         }
 
         /**
          * Initializes #nextToken field value that will be returned by the first
-         * invocation of #next() method.
+         * invocation of #next() method, if it is not initialized yet.
          *
-         * @return object to which #nextToken field value will be assigned.
          * @see #next()
          */
-        private T getFirstToken() {
-            return getInstance(scan.findWithinHorizon(tokenPat, 0));
+        private void start() {
+            if (!isStarted) {
+                isStarted = true;
+                nextToken = (isInitSuccess) ? getInstance(findNext()) : null;
+            }
         }
 
         /**
-         * Gets Pattern object which is assigned to #tokenPat field.
+         * Searches the next sub-string in the source, that corresponds to the token pattern.
          *
-         * @return Pattern object which is used for assigning of #tokenPat field.
-         * @see #tokenPat
+         * @return found sub-string; or null, if no more matches found.
          */
-        private Pattern getTokenPattern() {
-            return getInstance("").getPattern();
+        private String findNext() {
+            if (mat != null) {
+                return mat.find() ? mat.group() : null;
+            }
+            return scan.findWithinHorizon(tokenPat, 0);
         }
     }
 
@@ -161,11 +181,17 @@ public abstract class TextToken {
                 && Objects.equals(this.subTokens, ((TextToken) other).subTokens);
     }
 
+    /**
+     * Returns unmodifiable view of the list of sub-tokens of this instance.
+     *
+     * @return unmodifiable list of sub-tokens; or empty list, if this instance
+     * has no sub-tokens.
+     */
     public List<TextToken> getSubTokens() {
         if (subTokens != null) {
-            return new ArrayList<>(subTokens);
+            return Collections.unmodifiableList(subTokens);
         }
-        return new ArrayList<>();
+        return Collections.emptyList();
     }
 
     public String toString() {
@@ -28,6 +28,20 @@ public class Word extends TextToken {
     public Word() {
     }
 
+    /**
+     * Creates an instance from the passed sub-string, excluding input sequence check
+     * from the default steps of parse procedure. Method is used in conditions, where
+     * input sequence is guaranteed matches the PATTERN class constant.
+     *
+     * @param content sub-string matching the PATTERN class constant.
+     * @return created instance.
+     */
+    static Word ofMatched(String content) {
+        Word token = new Word();
+        token.content = content;
+        return token;
+    }
+
     @Override
     public boolean equals(Object other) {
         return this == other